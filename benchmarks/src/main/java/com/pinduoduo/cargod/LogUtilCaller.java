@@ -0,0 +1,17 @@
+package com.pinduoduo.cargod;
+
+import org.example.utils.LogUtil;
+
+/**
+ * 位于 LogUtil.TARGET_PACKAGE_PATH 下的调用方，getTag 在调用栈前几层就能命中
+ */
+public class LogUtilCaller {
+
+    public static void info(String msg) {
+        LogUtil.info(msg);
+    }
+
+    public static void info(String format, Object... arguments) {
+        LogUtil.info(format, arguments);
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.benchmarks;
+
+import org.example.utils.BatchQueryUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * 三阶段查询（订单 → 商家 → 评分）：逐阶段 batchQueryAsync 全量屏障 vs BatchQueryUtil.pipeline 流水线
+ * 桩处理函数每批的延迟是基础延迟的 1~5 倍随机，和批次内容无关，模拟下游接口的长尾，两种写法面对的延迟分布相同
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchQueryPipelineBenchmark {
+
+    private static final int BATCH_SIZE = 30;
+    // 订单引用的商家数
+    private static final long MERCHANT_COUNT = 200L;
+    // 每批基础延迟，纳秒
+    private static final long BASE_LATENCY_NANOS = 100_000L;
+
+    @Param({"1000"})
+    private int orderCount;
+
+    @Param({"4", "16"})
+    private int poolSize;
+
+    private List<Long> orderIds;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        orderIds = new ArrayList<>(orderCount);
+        for (long i = 0; i < orderCount; i++) {
+            orderIds.add(i);
+        }
+        executor = Executors.newFixedThreadPool(poolSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public Map<Long, long[]> stageBarrier() throws ExecutionException, InterruptedException {
+        List<long[]> orders = BatchQueryUtil.batchQueryAsync(orderIds, BATCH_SIZE, BatchQueryPipelineBenchmark::queryOrders, executor);
+        List<Long> merchantIds = orders.stream().map(order -> order[1]).distinct().collect(Collectors.toList());
+        List<long[]> merchants = BatchQueryUtil.batchQueryAsync(merchantIds, BATCH_SIZE, BatchQueryPipelineBenchmark::queryMerchants, executor);
+        List<Long> scoreIds = merchants.stream().map(merchant -> merchant[0]).distinct().collect(Collectors.toList());
+        List<long[]> scores = BatchQueryUtil.batchQueryAsync(scoreIds, BATCH_SIZE, BatchQueryPipelineBenchmark::queryScores, executor);
+        return scores.stream().collect(Collectors.toMap(score -> score[0], score -> score));
+    }
+
+    @Benchmark
+    public Map<Long, long[]> pipeline() throws ExecutionException, InterruptedException {
+        return BatchQueryUtil.pipeline(orderIds, BATCH_SIZE, BatchQueryPipelineBenchmark::queryOrders, order -> order[0], executor)
+                .then(order -> order[1], BATCH_SIZE, BatchQueryPipelineBenchmark::queryMerchants, merchant -> merchant[0])
+                .then(merchant -> merchant[0], BATCH_SIZE, BatchQueryPipelineBenchmark::queryScores, score -> score[0])
+                .get();
+    }
+
+    // 订单：[orderId, merchantId]
+    private static List<long[]> queryOrders(List<Long> batch) {
+        simulateLatency(batch);
+        List<long[]> result = new ArrayList<>(batch.size());
+        for (Long orderId : batch) {
+            result.add(new long[]{orderId, orderId % MERCHANT_COUNT});
+        }
+        return result;
+    }
+
+    // 商家：[merchantId, level]
+    private static List<long[]> queryMerchants(List<Long> batch) {
+        simulateLatency(batch);
+        List<long[]> result = new ArrayList<>(batch.size());
+        for (Long merchantId : batch) {
+            result.add(new long[]{merchantId, merchantId % 5});
+        }
+        return result;
+    }
+
+    // 评分：[merchantId, score]
+    private static List<long[]> queryScores(List<Long> batch) {
+        simulateLatency(batch);
+        List<long[]> result = new ArrayList<>(batch.size());
+        for (Long merchantId : batch) {
+            result.add(new long[]{merchantId, merchantId * 7 % 100});
+        }
+        return result;
+    }
+
+    // 基础延迟的 1~5 倍随机，和批次内容无关，两种写法面对的延迟分布相同
+    private static void simulateLatency(List<Long> batch) {
+        LockSupport.parkNanos(BASE_LATENCY_NANOS * ThreadLocalRandom.current().nextInt(1, 6));
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.benchmarks;
+
+import org.example.utils.BatchQueryUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * BatchQueryUtil.batchQueryAsync 在不同批次大小、线程池大小下的耗时
+ * 处理函数是本地桩：每批固定网络延迟 + 每个 key 的处理耗时，用 park 模拟 IO 等待
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchQueryUtilBenchmark {
+
+    // 每批固定延迟，纳秒
+    private static final long BATCH_LATENCY_NANOS = 200_000L;
+    // 每个 key 的处理耗时，纳秒
+    private static final long ITEM_LATENCY_NANOS = 2_000L;
+
+    @Param({"1000"})
+    private int itemCount;
+
+    @Param({"10", "30", "100"})
+    private int batchSize;
+
+    @Param({"1", "4", "16"})
+    private int poolSize;
+
+    private List<Long> items;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        items = new ArrayList<>(itemCount);
+        for (long i = 0; i < itemCount; i++) {
+            items.add(i);
+        }
+        executor = Executors.newFixedThreadPool(poolSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public List<Long> batchQueryAsync() throws ExecutionException, InterruptedException {
+        return BatchQueryUtil.batchQueryAsync(items, batchSize, BatchQueryUtilBenchmark::stubQuery, executor);
+    }
+
+    /**
+     * 本地桩处理函数，返回每个 key 的两倍
+     */
+    static List<Long> stubQuery(List<Long> batch) {
+        LockSupport.parkNanos(BATCH_LATENCY_NANOS + ITEM_LATENCY_NANOS * batch.size());
+        List<Long> result = new ArrayList<>(batch.size());
+        for (Long key : batch) {
+            result.add(key * 2);
+        }
+        return result;
+    }
+}
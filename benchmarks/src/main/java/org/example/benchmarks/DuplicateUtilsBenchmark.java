@@ -0,0 +1,52 @@
+package org.example.benchmarks;
+
+import org.example.utils.DuplicateUtils;
+import org.example.utils.RandomHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DuplicateUtils.findDuplicateElement，取值范围是元素个数的一半，约一半元素重复
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DuplicateUtilsBenchmark {
+
+    private static final long SEED = 20261019L;
+
+    @Param({"100", "10000", "1000000"})
+    private int size;
+
+    private List<Integer> list;
+
+    @Setup
+    public void setUp() {
+        int[] values = RandomHelper.generateRandomIntArray(size, Math.max(size / 2, 1), SEED);
+        list = new ArrayList<>(size);
+        for (int value : values) {
+            list.add(value);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> findDuplicateElement() {
+        return DuplicateUtils.findDuplicateElement(list);
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.benchmarks;
+
+import com.pinduoduo.cargod.LogUtilCaller;
+import org.example.utils.LogUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LogUtil 每次打日志都会通过 getTag 遍历调用栈，这里测的就是这部分开销
+ * 两条路径：
+ * 1. 调用方在 LogUtil.TARGET_PACKAGE_PATH 下（线上的正常情况），通过 LogUtilCaller 调用，调用栈前几层就命中
+ * 2. 调用方不在目标包下（本类在 org.example.benchmarks），遍历整个调用栈都找不到，是最坏情况
+ * 使用 slf4j-nop，日志本身不输出
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogUtilBenchmark {
+
+    private final Long orderId = 123456789L;
+
+    @Benchmark
+    public void infoInTargetPackage() {
+        LogUtilCaller.info("query order finished");
+    }
+
+    @Benchmark
+    public void infoFormatInTargetPackage() {
+        LogUtilCaller.info("query order finished, orderId={}", orderId);
+    }
+
+    @Benchmark
+    public void infoOutsideTargetPackage() {
+        LogUtil.info("query order finished");
+    }
+
+    @Benchmark
+    public void infoFormatOutsideTargetPackage() {
+        LogUtil.info("query order finished, orderId={}", orderId);
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.benchmarks;
+
+import org.example.utils.LongKeyMap;
+import org.example.utils.MapCollectors;
+import org.example.utils.RandomHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List 转 Map：现有 collect(HashMap::new, map.put, HashMap::putAll) 写法 vs MapCollectors
+ * 以及转换后按 id 查找的耗时
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapCollectorsBenchmark {
+
+    private static final long SEED = 20261019L;
+
+    @Param({"100", "10000", "1000000"})
+    private int size;
+
+    private List<OrderDTO> orders;
+    private long[] lookupIds;
+    private Map<Long, OrderDTO> hashMap;
+    private LongKeyMap<OrderDTO> longKeyMap;
+
+    @Setup
+    public void setUp() {
+        // id 取值范围远大于个数，模拟真实的稀疏 id
+        long[] ids = RandomHelper.generateRandomLongArray(size, Long.MAX_VALUE, SEED);
+        orders = new ArrayList<>(size);
+        for (long id : ids) {
+            orders.add(new OrderDTO(id));
+        }
+        lookupIds = ids;
+        hashMap = currentPattern();
+        longKeyMap = indexByLong();
+    }
+
+    @Benchmark
+    public Map<Long, OrderDTO> currentPattern() {
+        return orders.stream().collect(HashMap::new, (map, item) -> map.put(item.getOrderId(), item), HashMap::putAll);
+    }
+
+    @Benchmark
+    public Map<Long, OrderDTO> toMapPresized() {
+        return orders.stream().collect(MapCollectors.toMap(OrderDTO::getOrderId, order -> order, orders.size(),
+                MapCollectors.DuplicateKeyPolicy.KEEP_LAST));
+    }
+
+    @Benchmark
+    public Map<Long, OrderDTO> indexBy() {
+        return MapCollectors.indexBy(orders, OrderDTO::getOrderId);
+    }
+
+    @Benchmark
+    public LongKeyMap<OrderDTO> toLongKeyMap() {
+        return orders.stream().collect(MapCollectors.toLongKeyMap(OrderDTO::getOrderId, orders.size(),
+                MapCollectors.DuplicateKeyPolicy.KEEP_LAST));
+    }
+
+    @Benchmark
+    public LongKeyMap<OrderDTO> indexByLong() {
+        return MapCollectors.indexByLong(orders, OrderDTO::getOrderId);
+    }
+
+    @Benchmark
+    public Map<Long, OrderDTO> currentPatternParallel() {
+        return orders.parallelStream().collect(HashMap::new, (map, item) -> map.put(item.getOrderId(), item), HashMap::putAll);
+    }
+
+    @Benchmark
+    public LongKeyMap<OrderDTO> toLongKeyMapParallel() {
+        return orders.parallelStream().collect(MapCollectors.toLongKeyMap(OrderDTO::getOrderId));
+    }
+
+    @Benchmark
+    public Map<Long, OrderDTO> toMapPresizedParallel() {
+        return orders.parallelStream().collect(MapCollectors.toMap(OrderDTO::getOrderId, order -> order, orders.size(),
+                MapCollectors.DuplicateKeyPolicy.KEEP_LAST));
+    }
+
+    @Benchmark
+    public LongKeyMap<OrderDTO> toLongKeyMapPresizedParallel() {
+        return orders.parallelStream().collect(MapCollectors.toLongKeyMap(OrderDTO::getOrderId, orders.size(),
+                MapCollectors.DuplicateKeyPolicy.KEEP_LAST));
+    }
+
+    @Benchmark
+    public long hashMapLookup() {
+        long sum = 0;
+        for (long id : lookupIds) {
+            sum += hashMap.get(id).getOrderId();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long longKeyMapLookup() {
+        long sum = 0;
+        for (long id : lookupIds) {
+            sum += longKeyMap.get(id).getOrderId();
+        }
+        return sum;
+    }
+
+    public static class OrderDTO {
+        private final long orderId;
+
+        public OrderDTO(long orderId) {
+            this.orderId = orderId;
+        }
+
+        public long getOrderId() {
+            return orderId;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.benchmarks;
+
+import org.example.utils.MyJsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyJsonUtils 序列化 + 反序列化往返，驼峰和下划线两种命名
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MyJsonUtilsBenchmark {
+
+    private OrderDTO order;
+
+    @Setup
+    public void setUp() {
+        order = new OrderDTO();
+        order.setOrderId(123456789L);
+        order.setMallId(987654L);
+        order.setMallName("测试店铺");
+        order.setAmount(19900);
+        order.setRemark(null);
+    }
+
+    @Benchmark
+    public OrderDTO roundTrip() {
+        return MyJsonUtils.fromJson(MyJsonUtils.toJson(order), OrderDTO.class);
+    }
+
+    @Benchmark
+    public OrderDTO roundTripUnderscore() {
+        return MyJsonUtils.fromJsonUnderscore(MyJsonUtils.toJsonUnderscore(order), OrderDTO.class);
+    }
+
+    public static class OrderDTO {
+        private Long orderId;
+        private Long mallId;
+        private String mallName;
+        private Integer amount;
+        private String remark;
+
+        public Long getOrderId() {
+            return orderId;
+        }
+
+        public void setOrderId(Long orderId) {
+            this.orderId = orderId;
+        }
+
+        public Long getMallId() {
+            return mallId;
+        }
+
+        public void setMallId(Long mallId) {
+            this.mallId = mallId;
+        }
+
+        public String getMallName() {
+            return mallName;
+        }
+
+        public void setMallName(String mallName) {
+            this.mallName = mallName;
+        }
+
+        public Integer getAmount() {
+            return amount;
+        }
+
+        public void setAmount(Integer amount) {
+            this.amount = amount;
+        }
+
+        public String getRemark() {
+            return remark;
+        }
+
+        public void setRemark(String remark) {
+            this.remark = remark;
+        }
+    }
+}
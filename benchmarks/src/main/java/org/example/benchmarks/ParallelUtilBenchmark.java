@@ -0,0 +1,87 @@
+package org.example.benchmarks;
+
+import org.example.utils.ParallelUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ParallelUtil.parallelInvoke / parallelInvokeList 在不同扇出宽度（入参个数）、线程池大小下的耗时
+ * 处理函数是本地桩，每次调用固定延迟，用 park 模拟 IO 等待；Cat、JsonUtils 等内部依赖由 internal-stubs 模块的桩类提供
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelUtilBenchmark {
+
+    // 每次调用的延迟，纳秒
+    private static final long CALL_LATENCY_NANOS = 200_000L;
+
+    @Param({"4", "16", "64"})
+    private int fanOut;
+
+    @Param({"4", "16"})
+    private int poolSize;
+
+    private List<Long> params;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        params = new ArrayList<>(fanOut);
+        for (long i = 0; i < fanOut; i++) {
+            params.add(i);
+        }
+        executor = Executors.newFixedThreadPool(poolSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public List<Long> parallelInvoke() {
+        return ParallelUtil.parallelInvoke(params, ParallelUtilBenchmark::stubQuery, executor);
+    }
+
+    @Benchmark
+    public List<Long> parallelInvokeList() {
+        return ParallelUtil.parallelInvokeList(params, ParallelUtilBenchmark::stubQueryList, executor);
+    }
+
+    // 入参出参 1:1
+    private static Long stubQuery(Long param) {
+        LockSupport.parkNanos(CALL_LATENCY_NANOS);
+        return param * 2;
+    }
+
+    // 入参出参 1:n
+    private static List<Long> stubQueryList(Long param) {
+        LockSupport.parkNanos(CALL_LATENCY_NANOS);
+        List<Long> result = new ArrayList<>(3);
+        for (long i = 0; i < 3; i++) {
+            result.add(param * 3 + i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.benchmarks;
+
+import org.example.utils.RandomHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 压测 id 生成：装箱 List vs 基本类型数组，串行 vs 并行，以及不同分布的采样开销
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RandomHelperBenchmark {
+
+    private static final long SEED = 20261019L;
+    private static final int BOUND = 1_000_000;
+
+    @Param({"10000000"})
+    private int size;
+
+    @Benchmark
+    public List<Integer> integerList() {
+        return RandomHelper.generateRandomIntegerList(size, BOUND);
+    }
+
+    @Benchmark
+    public int[] intArray() {
+        return RandomHelper.generateRandomIntArray(size, RandomHelper.uniform(BOUND), SEED, false);
+    }
+
+    @Benchmark
+    public int[] intArrayParallel() {
+        return RandomHelper.generateRandomIntArray(size, RandomHelper.uniform(BOUND), SEED, true);
+    }
+
+    @Benchmark
+    public int[] zipfParallel() {
+        return RandomHelper.generateRandomIntArray(size, RandomHelper.zipf(BOUND, 1.0), SEED, true);
+    }
+
+    @Benchmark
+    public int[] hotKeyParallel() {
+        return RandomHelper.generateRandomIntArray(size, RandomHelper.hotKey(BOUND, 0.01, 0.9), SEED, true);
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.benchmarks;
+
+import org.example.utils.StringToDigitHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StringToDigitHelper.isNonNegativeInteger，输入覆盖合法数字和各类非法格式
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringToDigitHelperBenchmark {
+
+    private static final String[] INPUTS = {
+            "0", "123", "9876543210", "0123", "-123", "1.23", "abc", "", null, "12345678901234567890"
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public void isNonNegativeInteger(Blackhole blackhole) {
+        for (String input : INPUTS) {
+            blackhole.consume(StringToDigitHelper.isNonNegativeInteger(input));
+        }
+    }
+}
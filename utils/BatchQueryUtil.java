@@ -1,13 +1,25 @@
+package org.example.utils;
+
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 批量查询工具类
@@ -268,4 +280,318 @@ public class BatchQueryUtil {
 
         return result;
     }
+
+    /**
+     * 多阶段流水线分批查询（fetch → enrich → join）
+     * 与多次调用 batchQueryAsync 不同，阶段之间没有整体屏障：
+     * 上一阶段的批次陆续返回时，下一阶段把结果里引用到的 key 去重后攒起来，
+     * 攒满一批（batchSize）就立即发起查询，上一阶段全部完成后再把不足一批的剩余 key 发出去。
+     * 这样下游每批的大小由自己的 batchSize 决定，调用次数和逐阶段屏障的写法相同，
+     * 整体耗时取决于关键路径，而不是各阶段耗时之和。
+     * 每个阶段内 key 跨批次去重，结果按 key 汇总成 Map，最后用 join 按 key 关联相邻两个阶段的结果。
+     * 例子
+     * PipelineStage<Long, OrderDTO> orders = BatchQueryUtil.pipeline(orderIds, 30, orderService::queryByIds, OrderDTO::getOrderId, executor);
+     * PipelineStage<Long, MerchantDTO> merchants = orders.then(OrderDTO::getMallId, 50, merchantService::queryByIds, MerchantDTO::getMallId);
+     * PipelineStage<Long, ScoreDTO> scores = merchants.then(MerchantDTO::getMallId, 50, scoreService::queryByIds, ScoreDTO::getMallId);
+     * // 商家关联评分，再由订单关联商家，得到 orderId → OrderVO
+     * Map<Long, MerchantVO> merchantVOMap = merchants.join(scores, MerchantDTO::getMallId, MerchantVO::new);
+     * Map<Long, OrderVO> orderVOMap = orders.join(merchants, OrderDTO::getMallId,
+     *         (order, merchant) -> new OrderVO(order, merchant == null ? null : merchantVOMap.get(merchant.getMallId())));
+     *
+     * @param keys               第一阶段的查询 key 列表
+     * @param batchSize          每批大小
+     * @param processor          处理函数，接收一批 key，返回处理结果
+     * @param resultKeyExtractor 从结果中取出 key，用于去重后的按 key 汇总
+     * @param executor           线程池（如果为空则在调用线程中顺序执行）
+     * @param <K>                key 类型
+     * @param <R>                返回数据类型
+     * @return 第一阶段，可以继续用 then 串联后续阶段
+     */
+    public static <K, R> PipelineStage<K, R> pipeline(List<K> keys,
+                                                      int batchSize,
+                                                      Function<List<K>, List<R>> processor,
+                                                      Function<R, K> resultKeyExtractor,
+                                                      ExecutorService executor) {
+        // 如果没有提供线程池，直接在当前线程执行，不需要额外管理线程池的生命周期
+        Executor finalExecutor = executor == null ? Runnable::run : executor;
+        PipelineStage<K, R> stage = new PipelineStage<>(batchSize, processor, resultKeyExtractor, finalExecutor);
+        // 第一阶段的 key 一次性给全，每批单独提交，下游不用等第一阶段全部完成
+        stage.offer(keys);
+        stage.finishInput();
+        return stage;
+    }
+
+    /**
+     * 流水线中的一个阶段
+     * 状态变化都在 synchronized 方法中进行，批次完成的回调按 上游 → 下游 的顺序加锁
+     *
+     * @param <K> key 类型
+     * @param <R> 返回数据类型
+     */
+    public static final class PipelineStage<K, R> {
+
+        private final int batchSize;
+        private final Function<List<K>, List<R>> processor;
+        private final Function<R, K> resultKeyExtractor;
+        private final Executor executor;
+        // 本阶段已经接收过的 key，跨批次去重
+        private final Set<K> seenKeys = new HashSet<>();
+        // 还没攒满一批的 key
+        private final List<K> pendingKeys = new ArrayList<>();
+        // 本阶段按 key 汇总的结果
+        private final Map<K, R> resultMap = new ConcurrentHashMap<>();
+        // key 为空的结果，不在 resultMap 中，之后才串联的下游阶段要和 resultMap 一起补收
+        private final List<R> unkeyedResults = new ArrayList<>();
+        // 下游阶段的监听
+        private final List<StageListener<R>> listeners = new ArrayList<>();
+        // 本阶段全部完成（或失败）
+        private final CompletableFuture<Map<K, R>> completion = new CompletableFuture<>();
+        // 已提交未返回的批次数
+        private int runningBatches;
+        // 上游是否已经不会再给 key
+        private boolean inputFinished;
+
+        private PipelineStage(int batchSize,
+                              Function<List<K>, List<R>> processor,
+                              Function<R, K> resultKeyExtractor,
+                              Executor executor) {
+            this.batchSize = batchSize <= 0 ? DEFAULT_BATCH_SIZE : batchSize;
+            this.processor = processor;
+            this.resultKeyExtractor = resultKeyExtractor;
+            this.executor = executor;
+        }
+
+        /**
+         * 串联下一个阶段
+         * 本阶段每个批次完成后，立即取出其中引用的 key（去掉已经查过的）交给下一阶段，下一阶段攒满 batchSize 就提交
+         *
+         * @param keyExtractor       从本阶段结果中取出下一阶段的 key，返回空则跳过
+         * @param batchSize          下一阶段每批大小
+         * @param processor          下一阶段处理函数
+         * @param resultKeyExtractor 从下一阶段结果中取出 key
+         * @param <NK>               下一阶段 key 类型
+         * @param <NR>               下一阶段返回数据类型
+         * @return 下一阶段
+         */
+        public <NK, NR> PipelineStage<NK, NR> then(Function<R, NK> keyExtractor,
+                                                   int batchSize,
+                                                   Function<List<NK>, List<NR>> processor,
+                                                   Function<NR, NK> resultKeyExtractor) {
+            PipelineStage<NK, NR> next = new PipelineStage<>(batchSize, processor, resultKeyExtractor, executor);
+            addListener(new StageListener<R>() {
+                @Override
+                public void onBatch(List<R> batchResult) {
+                    try {
+                        List<NK> nextKeys = new ArrayList<>(batchResult.size());
+                        for (R item : batchResult) {
+                            nextKeys.add(keyExtractor.apply(item));
+                        }
+                        next.offer(nextKeys);
+                    } catch (Throwable t) {
+                        // keyExtractor 的异常只让下一阶段失败，本阶段和其他下游不受影响
+                        next.fail(t);
+                    }
+                }
+
+                @Override
+                public void onComplete() {
+                    next.finishInput();
+                }
+
+                @Override
+                public void onError(Throwable e) {
+                    next.fail(e);
+                }
+            });
+            return next;
+        }
+
+        /**
+         * 等待本阶段（以及它依赖的上游阶段）全部完成，返回按 key 汇总的结果
+         */
+        public Map<K, R> get() throws ExecutionException, InterruptedException {
+            return completion.get();
+        }
+
+        /**
+         * 等待本阶段全部完成（带超时控制）
+         */
+        public Map<K, R> get(long timeout, TimeUnit unit)
+                throws ExecutionException, InterruptedException, TimeoutException {
+            return completion.get(timeout, unit);
+        }
+
+        /**
+         * 按 key 关联另一个阶段（一般是本阶段串联出的下游阶段）的结果
+         * 等待两个阶段都完成后，本阶段的每个结果用 keyExtractor 取出对方的 key，
+         * 找到对方对应的结果（找不到或 key 为空时为 null）一起交给 combiner
+         *
+         * @param other        要关联的阶段
+         * @param keyExtractor 从本阶段结果中取出对方的 key
+         * @param combiner     合并函数，入参是本阶段结果和对方结果（可能为空）
+         * @param <NK>         对方 key 类型
+         * @param <NR>         对方返回数据类型
+         * @param <V>          关联后的数据类型
+         * @return 本阶段 key → 关联后的数据，value 允许为 null
+         */
+        public <NK, NR, V> Map<K, V> join(PipelineStage<NK, NR> other,
+                                          Function<R, NK> keyExtractor,
+                                          BiFunction<R, NR, V> combiner)
+                throws ExecutionException, InterruptedException {
+            Map<NK, NR> otherMap = other.get();
+            Map<K, R> map = get();
+            Map<K, V> result = new HashMap<>(map.size() * 4 / 3 + 1);
+            for (Map.Entry<K, R> entry : map.entrySet()) {
+                NK otherKey = keyExtractor.apply(entry.getValue());
+                NR otherValue = otherKey == null ? null : otherMap.get(otherKey);
+                result.put(entry.getKey(), combiner.apply(entry.getValue(), otherValue));
+            }
+            return result;
+        }
+
+        /**
+         * 接收 key，去重后攒批，攒满 batchSize 就提交
+         */
+        private synchronized void offer(List<K> keys) {
+            if (keys == null || completion.isDone()) {
+                return;
+            }
+            for (K key : keys) {
+                // 空 key 和之前已经接收过的 key 不再查询
+                if (key != null && seenKeys.add(key)) {
+                    pendingKeys.add(key);
+                }
+            }
+            while (pendingKeys.size() >= batchSize) {
+                List<K> batch = new ArrayList<>(pendingKeys.subList(0, batchSize));
+                pendingKeys.subList(0, batchSize).clear();
+                submit(batch);
+            }
+        }
+
+        /**
+         * 上游不会再给 key 了，提交剩余不足一批的 key
+         */
+        private synchronized void finishInput() {
+            if (!pendingKeys.isEmpty() && !completion.isDone()) {
+                submit(new ArrayList<>(pendingKeys));
+                pendingKeys.clear();
+            }
+            inputFinished = true;
+            tryComplete();
+        }
+
+        private synchronized void submit(List<K> batch) {
+            if (completion.isDone()) {
+                return;
+            }
+            runningBatches++;
+            try {
+                CompletableFuture.supplyAsync(() -> processor.apply(batch), executor)
+                        .whenComplete(this::onBatchDone);
+            } catch (Throwable t) {
+                // 线程池拒绝任务等提交失败的情况
+                runningBatches--;
+                fail(t);
+            }
+        }
+
+        private synchronized void onBatchDone(List<R> batchResult, Throwable e) {
+            runningBatches--;
+            if (completion.isDone()) {
+                return;
+            }
+            if (e != null) {
+                fail(e);
+                return;
+            }
+            try {
+                List<R> result = collect(batchResult);
+                for (StageListener<R> listener : listeners) {
+                    listener.onBatch(result);
+                }
+                tryComplete();
+            } catch (Throwable t) {
+                // resultKeyExtractor 等回调的异常，不能让本阶段带着部分结果正常完成
+                fail(t);
+            }
+        }
+
+        private synchronized void tryComplete() {
+            if (inputFinished && runningBatches == 0 && completion.complete(resultMap)) {
+                for (StageListener<R> listener : listeners) {
+                    listener.onComplete();
+                }
+            }
+        }
+
+        private synchronized void fail(Throwable e) {
+            if (completion.completeExceptionally(e)) {
+                for (StageListener<R> listener : listeners) {
+                    listener.onError(e);
+                }
+            }
+        }
+
+        /**
+         * 注册下游监听，已经收到的结果和状态会先补发给它
+         * 补发的是去重后的结果，同一个 key 只补发保留下来的那个
+         */
+        private synchronized void addListener(StageListener<R> listener) {
+            if (!resultMap.isEmpty() || !unkeyedResults.isEmpty()) {
+                List<R> received = new ArrayList<>(resultMap.size() + unkeyedResults.size());
+                received.addAll(resultMap.values());
+                received.addAll(unkeyedResults);
+                try {
+                    listener.onBatch(received);
+                } catch (Throwable t) {
+                    // 补发失败只影响这个下游，本阶段可能已经正常完成了
+                    listener.onError(t);
+                    return;
+                }
+            }
+            if (completion.isCompletedExceptionally()) {
+                completion.whenComplete((map, e) -> listener.onError(e));
+            } else if (completion.isDone()) {
+                listener.onComplete();
+            } else {
+                listeners.add(listener);
+            }
+        }
+
+        /**
+         * 按 key 汇总单个批次的结果，过滤空值
+         */
+        private List<R> collect(List<R> batchResult) {
+            List<R> result = new ArrayList<>();
+            if (batchResult == null) {
+                return result;
+            }
+            for (R item : batchResult) {
+                if (item == null) {
+                    continue;
+                }
+                K key = resultKeyExtractor.apply(item);
+                if (key != null) {
+                    resultMap.putIfAbsent(key, item);
+                } else {
+                    unkeyedResults.add(item);
+                }
+                result.add(item);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 下游阶段对上游阶段的监听
+     */
+    private interface StageListener<R> {
+
+        void onBatch(List<R> batchResult);
+
+        void onComplete();
+
+        void onError(Throwable e);
+    }
 }
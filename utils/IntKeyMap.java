@@ -0,0 +1,178 @@
+package org.example.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * int 为 key 的开放寻址 Map
+ * 实现和 LongKeyMap 相同，只是 key 换成 int
+ * value 允许为 null
+ * 非线程安全
+ *
+ * @param <V> value 类型
+ */
+public class IntKeyMap<V> {
+
+    private static final float MAX_LOAD_FACTOR = 0.5f;
+    private static final int MIN_CAPACITY = 8;
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    // 0 作为空槽标记，key 为 0 的元素单独存放
+    private int[] keys;
+    private Object[] values;
+    private boolean hasZeroKey;
+    private Object zeroValue;
+    private int size;
+    private int threshold;
+    private int shift;
+
+    public IntKeyMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 预期元素个数，按它预先分配容量，避免插入过程中扩容
+     */
+    public IntKeyMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return keys[indexOf(key)] == key;
+    }
+
+    public V get(int key) {
+        return getOrDefault(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(int key, V defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? (V) zeroValue : defaultValue;
+        }
+        int index = indexOf(key);
+        return keys[index] == key ? (V) values[index] : defaultValue;
+    }
+
+    /**
+     * 放入元素，key 已存在时覆盖
+     *
+     * @return 之前的 value，不存在时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (key == 0) {
+            V previous = (V) zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+
+        int index = indexOf(key);
+        if (keys[index] == key) {
+            V previous = (V) values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * 遍历所有元素
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> consumer) {
+        if (hasZeroKey) {
+            consumer.accept(0, (V) zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * 所有 value，顺序不保证
+     */
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        forEach((key, value) -> result.add(value));
+        return result;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int index = (key * HASH_MULTIPLIER) >>> shift;
+        while (keys[index] != 0 && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        threshold = (int) (capacity * MAX_LOAD_FACTOR);
+        shift = Integer.numberOfLeadingZeros(capacity - 1);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long required = (long) Math.ceil(Math.max(expectedSize, 0) / MAX_LOAD_FACTOR) + 1;
+        int capacity = MIN_CAPACITY;
+        while (capacity < required && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * 遍历回调，key 不装箱
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+}
@@ -1,3 +1,9 @@
+package org.example.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+
 /**
  * 日志工具类
  */
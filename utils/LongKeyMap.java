@@ -0,0 +1,186 @@
+package org.example.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * long 为 key 的开放寻址 Map
+ * 用于 id → DTO 的查找，key 不装箱，不为每个元素创建 Entry 对象
+ * value 允许为 null，和 HashMap::put 的写法保持一致
+ * 非线程安全
+ *
+ * @param <V> value 类型
+ */
+public class LongKeyMap<V> {
+
+    // 最大装载因子，线性探测下超过一半后冲突会明显变长
+    private static final float MAX_LOAD_FACTOR = 0.5f;
+    // 最小容量，必须是 2 的幂
+    private static final int MIN_CAPACITY = 8;
+    // 斐波那契散列乘数
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    // 0 作为空槽标记，key 为 0 的元素单独存放
+    private long[] keys;
+    private Object[] values;
+    private boolean hasZeroKey;
+    private Object zeroValue;
+    private int size;
+    // 扩容阈值
+    private int threshold;
+    // 容量对应的位数，用于散列取高位
+    private int shift;
+
+    public LongKeyMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 预期元素个数，按它预先分配容量，避免插入过程中扩容
+     */
+    public LongKeyMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0L) {
+            return hasZeroKey;
+        }
+        return keys[indexOf(key)] == key;
+    }
+
+    public V get(long key) {
+        return getOrDefault(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(long key, V defaultValue) {
+        if (key == 0L) {
+            return hasZeroKey ? (V) zeroValue : defaultValue;
+        }
+        int index = indexOf(key);
+        return keys[index] == key ? (V) values[index] : defaultValue;
+    }
+
+    /**
+     * 放入元素，key 已存在时覆盖
+     *
+     * @return 之前的 value，不存在时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == 0L) {
+            V previous = (V) zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+
+        int index = indexOf(key);
+        if (keys[index] == key) {
+            V previous = (V) values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * 遍历所有元素
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> consumer) {
+        if (hasZeroKey) {
+            consumer.accept(0L, (V) zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0L) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * 所有 value，顺序不保证
+     */
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        forEach((key, value) -> result.add(value));
+        return result;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * 查找 key 所在的槽位，不存在时返回应插入的空槽位
+     */
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int index = (int) ((key * HASH_MULTIPLIER) >>> shift);
+        while (keys[index] != 0L && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0L) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        threshold = (int) (capacity * MAX_LOAD_FACTOR);
+        shift = Long.numberOfLeadingZeros(capacity - 1);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long required = (long) Math.ceil(Math.max(expectedSize, 0) / MAX_LOAD_FACTOR) + 1;
+        int capacity = MIN_CAPACITY;
+        while (capacity < required && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * 遍历回调，key 不装箱
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+}
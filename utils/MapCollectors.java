@@ -0,0 +1,313 @@
+package org.example.utils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * List 转 Map 收集器工具类
+ * 替代 stream().collect(HashMap::new, (map, item) -> map.put(key, item), HashMap::putAll) 的写法：
+ * 1. 和原写法一样允许 value 为 null（Collectors.toMap 遇到 null value 会抛 NPE）
+ * 2. 按源集合大小预先分配容量：indexBy* 和串行流按 expectedSize 分配；
+ *    并行流每个分片都会调用一次 supplier，只有第一个容器按 expectedSize 分配，其余用默认容量，合并时小的并入大的
+ * 3. id → DTO 的场景可以收集成 long/int 为 key 的 LongKeyMap/IntKeyMap，key 不装箱
+ * 4. 重复 key 的处理方式通过 DuplicateKeyPolicy 显式指定
+ * 5. 并行流合并分片结果时把小的合并到大的里面，并保持重复 key 策略的先后语义
+ */
+public class MapCollectors {
+
+    // HashMap 默认装载因子
+    private static final float HASH_MAP_LOAD_FACTOR = 0.75f;
+    // 未指定预期大小时的默认值
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    /**
+     * 重复 key 的处理策略
+     */
+    public enum DuplicateKeyPolicy {
+        /**
+         * 保留后出现的，和原来 map.put 写法的行为一致
+         */
+        KEEP_LAST,
+        /**
+         * 保留先出现的
+         */
+        KEEP_FIRST,
+        /**
+         * 抛出 IllegalStateException，和 Collectors.toMap 的行为一致
+         */
+        THROW
+    }
+
+    /**
+     * 按 key 收集成 HashMap，重复 key 保留后出现的
+     * 例子
+     * Map<String, ThreadPoolConfig> map = list.stream().collect(MapCollectors.toMap(ThreadPoolConfig::getThreadPoolName));
+     *
+     * @param keyMapper key 提取函数
+     * @param <T>       元素类型
+     * @param <K>       key 类型
+     * @return 收集器
+     */
+    public static <T, K> Collector<T, ?, Map<K, T>> toMap(Function<? super T, ? extends K> keyMapper) {
+        return toMap(keyMapper, Function.identity(), DEFAULT_EXPECTED_SIZE, DuplicateKeyPolicy.KEEP_LAST);
+    }
+
+    /**
+     * 按 key 收集成 HashMap
+     * key 和 value 都允许为 null
+     *
+     * @param keyMapper    key 提取函数
+     * @param valueMapper  value 提取函数
+     * @param expectedSize 预期元素个数，一般传源集合的 size()；并行流只有第一个分片的容器按它分配
+     * @param policy       重复 key 的处理策略
+     * @param <T>          元素类型
+     * @param <K>          key 类型
+     * @param <V>          value 类型
+     * @return 收集器
+     */
+    public static <T, K, V> Collector<T, ?, Map<K, V>> toMap(Function<? super T, ? extends K> keyMapper,
+                                                            Function<? super T, ? extends V> valueMapper,
+                                                            int expectedSize,
+                                                            DuplicateKeyPolicy policy) {
+        // 并行流会为每个分片调用 supplier，只让第一个容器按 expectedSize 分配，避免分配 expectedSize × 分片数
+        AtomicBoolean presized = new AtomicBoolean();
+        return Collector.<T, Map<K, V>, Map<K, V>>of(
+                () -> new HashMap<>(hashMapCapacity(presized.compareAndSet(false, true) ? expectedSize : DEFAULT_EXPECTED_SIZE)),
+                (map, item) -> put(map, keyMapper.apply(item), valueMapper.apply(item), policy, false),
+                (left, right) -> {
+                    // 把小的合并到大的里面，right 在遇到顺序上总是在 left 之后
+                    if (left.size() >= right.size()) {
+                        right.forEach((key, value) -> put(left, key, value, policy, false));
+                        return left;
+                    }
+                    left.forEach((key, value) -> put(right, key, value, policy, true));
+                    return right;
+                },
+                map -> {
+                    // 收集结束后复位，同一个收集器再次使用时仍然预分配
+                    presized.set(false);
+                    return map;
+                });
+    }
+
+    /**
+     * 按 long key 收集成 LongKeyMap，重复 key 保留后出现的
+     *
+     * @param keyMapper key 提取函数
+     * @param <T>       元素类型
+     * @return 收集器
+     */
+    public static <T> Collector<T, ?, LongKeyMap<T>> toLongKeyMap(ToLongFunction<? super T> keyMapper) {
+        return toLongKeyMap(keyMapper, DEFAULT_EXPECTED_SIZE, DuplicateKeyPolicy.KEEP_LAST);
+    }
+
+    /**
+     * 按 long key 收集成 LongKeyMap
+     * value 允许为 null
+     *
+     * @param keyMapper    key 提取函数
+     * @param expectedSize 预期元素个数，一般传源集合的 size()；并行流只有第一个分片的容器按它分配
+     * @param policy       重复 key 的处理策略
+     * @param <T>          元素类型
+     * @return 收集器
+     */
+    public static <T> Collector<T, ?, LongKeyMap<T>> toLongKeyMap(ToLongFunction<? super T> keyMapper,
+                                                                 int expectedSize,
+                                                                 DuplicateKeyPolicy policy) {
+        // 并行流会为每个分片调用 supplier，只让第一个容器按 expectedSize 分配，避免分配 expectedSize × 分片数
+        AtomicBoolean presized = new AtomicBoolean();
+        return Collector.<T, LongKeyMap<T>, LongKeyMap<T>>of(
+                () -> new LongKeyMap<>(presized.compareAndSet(false, true) ? expectedSize : DEFAULT_EXPECTED_SIZE),
+                (map, item) -> put(map, keyMapper.applyAsLong(item), item, policy, false),
+                (left, right) -> {
+                    if (left.size() >= right.size()) {
+                        right.forEach((key, value) -> put(left, key, value, policy, false));
+                        return left;
+                    }
+                    left.forEach((key, value) -> put(right, key, value, policy, true));
+                    return right;
+                },
+                map -> {
+                    // 收集结束后复位，同一个收集器再次使用时仍然预分配
+                    presized.set(false);
+                    return map;
+                });
+    }
+
+    /**
+     * 按 int key 收集成 IntKeyMap，重复 key 保留后出现的
+     *
+     * @param keyMapper key 提取函数
+     * @param <T>       元素类型
+     * @return 收集器
+     */
+    public static <T> Collector<T, ?, IntKeyMap<T>> toIntKeyMap(ToIntFunction<? super T> keyMapper) {
+        return toIntKeyMap(keyMapper, DEFAULT_EXPECTED_SIZE, DuplicateKeyPolicy.KEEP_LAST);
+    }
+
+    /**
+     * 按 int key 收集成 IntKeyMap
+     * value 允许为 null
+     *
+     * @param keyMapper    key 提取函数
+     * @param expectedSize 预期元素个数，一般传源集合的 size()；并行流只有第一个分片的容器按它分配
+     * @param policy       重复 key 的处理策略
+     * @param <T>          元素类型
+     * @return 收集器
+     */
+    public static <T> Collector<T, ?, IntKeyMap<T>> toIntKeyMap(ToIntFunction<? super T> keyMapper,
+                                                               int expectedSize,
+                                                               DuplicateKeyPolicy policy) {
+        // 并行流会为每个分片调用 supplier，只让第一个容器按 expectedSize 分配，避免分配 expectedSize × 分片数
+        AtomicBoolean presized = new AtomicBoolean();
+        return Collector.<T, IntKeyMap<T>, IntKeyMap<T>>of(
+                () -> new IntKeyMap<>(presized.compareAndSet(false, true) ? expectedSize : DEFAULT_EXPECTED_SIZE),
+                (map, item) -> put(map, keyMapper.applyAsInt(item), item, policy, false),
+                (left, right) -> {
+                    if (left.size() >= right.size()) {
+                        right.forEach((key, value) -> put(left, key, value, policy, false));
+                        return left;
+                    }
+                    left.forEach((key, value) -> put(right, key, value, policy, true));
+                    return right;
+                },
+                map -> {
+                    // 收集结束后复位，同一个收集器再次使用时仍然预分配
+                    presized.set(false);
+                    return map;
+                });
+    }
+
+    /**
+     * List 转 Map，按 list 大小预先分配容量，重复 key 保留后出现的
+     * 不走 stream，list 为空时返回空 Map
+     *
+     * @param list      list
+     * @param keyMapper key 提取函数
+     * @param <T>       元素类型
+     * @param <K>       key 类型
+     * @return Map
+     */
+    public static <T, K> Map<K, T> indexBy(Collection<T> list, Function<? super T, ? extends K> keyMapper) {
+        if (list == null || list.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<K, T> map = new HashMap<>(hashMapCapacity(list.size()));
+        for (T item : list) {
+            map.put(keyMapper.apply(item), item);
+        }
+        return map;
+    }
+
+    /**
+     * List 转 LongKeyMap，按 list 大小预先分配容量，重复 key 保留后出现的
+     *
+     * @param list      list
+     * @param keyMapper key 提取函数
+     * @param <T>       元素类型
+     * @return LongKeyMap
+     */
+    public static <T> LongKeyMap<T> indexByLong(Collection<T> list, ToLongFunction<? super T> keyMapper) {
+        if (list == null || list.isEmpty()) {
+            return new LongKeyMap<>();
+        }
+        LongKeyMap<T> map = new LongKeyMap<>(list.size());
+        for (T item : list) {
+            map.put(keyMapper.applyAsLong(item), item);
+        }
+        return map;
+    }
+
+    /**
+     * List 转 IntKeyMap，按 list 大小预先分配容量，重复 key 保留后出现的
+     *
+     * @param list      list
+     * @param keyMapper key 提取函数
+     * @param <T>       元素类型
+     * @return IntKeyMap
+     */
+    public static <T> IntKeyMap<T> indexByInt(Collection<T> list, ToIntFunction<? super T> keyMapper) {
+        if (list == null || list.isEmpty()) {
+            return new IntKeyMap<>();
+        }
+        IntKeyMap<T> map = new IntKeyMap<>(list.size());
+        for (T item : list) {
+            map.put(keyMapper.applyAsInt(item), item);
+        }
+        return map;
+    }
+
+    /**
+     * 按策略放入元素
+     *
+     * @param earlier 放入的元素在遇到顺序上是否早于 map 中已有的元素（并行合并时会出现）
+     */
+    private static <K, V> void put(Map<K, V> map, K key, V value, DuplicateKeyPolicy policy, boolean earlier) {
+        if (policy == DuplicateKeyPolicy.KEEP_LAST && !earlier) {
+            map.put(key, value);
+            return;
+        }
+        // value 允许为 null，不能用 get 的结果判断是否存在
+        if (!map.containsKey(key)) {
+            map.put(key, value);
+            return;
+        }
+        if (policy == DuplicateKeyPolicy.THROW) {
+            throw new IllegalStateException(String.format("Duplicate key %s", key));
+        }
+        // 已存在时，只有“保留先出现的且新元素更早”才覆盖
+        if (policy == DuplicateKeyPolicy.KEEP_FIRST && earlier) {
+            map.put(key, value);
+        }
+    }
+
+    private static <V> void put(LongKeyMap<V> map, long key, V value, DuplicateKeyPolicy policy, boolean earlier) {
+        if (policy == DuplicateKeyPolicy.KEEP_LAST && !earlier) {
+            map.put(key, value);
+            return;
+        }
+        if (!map.containsKey(key)) {
+            map.put(key, value);
+            return;
+        }
+        if (policy == DuplicateKeyPolicy.THROW) {
+            throw new IllegalStateException(String.format("Duplicate key %s", key));
+        }
+        if (policy == DuplicateKeyPolicy.KEEP_FIRST && earlier) {
+            map.put(key, value);
+        }
+    }
+
+    private static <V> void put(IntKeyMap<V> map, int key, V value, DuplicateKeyPolicy policy, boolean earlier) {
+        if (policy == DuplicateKeyPolicy.KEEP_LAST && !earlier) {
+            map.put(key, value);
+            return;
+        }
+        if (!map.containsKey(key)) {
+            map.put(key, value);
+            return;
+        }
+        if (policy == DuplicateKeyPolicy.THROW) {
+            throw new IllegalStateException(String.format("Duplicate key %s", key));
+        }
+        if (policy == DuplicateKeyPolicy.KEEP_FIRST && earlier) {
+            map.put(key, value);
+        }
+    }
+
+    /**
+     * 预期元素个数对应的 HashMap 初始容量，保证插入 expectedSize 个元素时不扩容
+     */
+    private static int hashMapCapacity(int expectedSize) {
+        if (expectedSize < 3) {
+            return Math.max(expectedSize, 0) + 1;
+        }
+        return (int) ((float) expectedSize / HASH_MAP_LOAD_FACTOR + 1.0f);
+    }
+}
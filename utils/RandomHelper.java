@@ -2,21 +2,301 @@ package org.example.utils;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 /**
  * 随机工具类
+ * 带 seed 的方法结果可复现：同一个 seed 无论串行、并行、并行度多少，生成的序列都相同
+ * 做法是把结果按固定大小分块，每块用 seed 和块序号推导出自己的 SplittableRandom，块之间互不依赖
  */
 public class RandomHelper {
 
+    // 每块元素个数，分块边界固定，结果就和线程数无关
+    private static final int CHUNK_SIZE = 1 << 16;
+    // 黄金分割常量，用于推导每块的 seed
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
     public static List<Integer> generateRandomIntegerList(int size, int bound) {
         List<Integer> randomList = new ArrayList<>(size);
-        Random random = new Random();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
         for (int i = 0; i < size; i++) {
             randomList.add(random.nextInt(bound)); // 生成 [0, bound) 的随机整数
         }
         return randomList;
     }
 
+    /**
+     * 生成 [0, bound) 均匀分布的 int 数组
+     *
+     * @param size  个数
+     * @param bound 上界（不包含）
+     * @param seed  随机种子
+     * @return int 数组
+     */
+    public static int[] generateRandomIntArray(int size, int bound, long seed) {
+        return generateRandomIntArray(size, uniform(bound), seed, false);
+    }
+
+    /**
+     * 按指定分布生成 int 数组
+     *
+     * @param size         个数
+     * @param distribution 分布，上界不能超过 Integer.MAX_VALUE
+     * @param seed         随机种子
+     * @param parallel     是否并行生成，不影响结果
+     * @return int 数组
+     */
+    public static int[] generateRandomIntArray(int size, Distribution distribution, long seed, boolean parallel) {
+        if (distribution.bound > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("bound exceeds int range: " + distribution.bound);
+        }
+        int[] result = new int[size];
+        chunks(size, parallel).forEach(chunk -> {
+            SplittableRandom random = chunkRandom(seed, chunk);
+            int end = (int) Math.min(size, (chunk + 1L) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                result[i] = (int) distribution.next(random);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 生成 [0, bound) 均匀分布的 long 数组
+     *
+     * @param size  个数
+     * @param bound 上界（不包含）
+     * @param seed  随机种子
+     * @return long 数组
+     */
+    public static long[] generateRandomLongArray(int size, long bound, long seed) {
+        return generateRandomLongArray(size, uniform(bound), seed, false);
+    }
+
+    /**
+     * 按指定分布生成 long 数组
+     *
+     * @param size         个数
+     * @param distribution 分布
+     * @param seed         随机种子
+     * @param parallel     是否并行生成，不影响结果
+     * @return long 数组
+     */
+    public static long[] generateRandomLongArray(int size, Distribution distribution, long seed, boolean parallel) {
+        long[] result = new long[size];
+        chunks(size, parallel).forEach(chunk -> {
+            SplittableRandom random = chunkRandom(seed, chunk);
+            int end = (int) Math.min(size, (chunk + 1L) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                result[i] = distribution.next(random);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 按指定分布生成 IntStream，不一次性占用整块内存
+     * 返回的流可以再调用 parallel()，元素顺序和取值不变
+     *
+     * @param size         个数
+     * @param distribution 分布，上界不能超过 Integer.MAX_VALUE
+     * @param seed         随机种子
+     * @return IntStream
+     */
+    public static IntStream randomIntStream(int size, Distribution distribution, long seed) {
+        if (distribution.bound > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("bound exceeds int range: " + distribution.bound);
+        }
+        return chunks(size, false).flatMap(chunk -> {
+            SplittableRandom random = chunkRandom(seed, chunk);
+            int chunkSize = Math.min(size - chunk * CHUNK_SIZE, CHUNK_SIZE);
+            return IntStream.generate(() -> (int) distribution.next(random)).limit(chunkSize);
+        });
+    }
+
+    /**
+     * 按指定分布生成 LongStream
+     *
+     * @param size         个数
+     * @param distribution 分布
+     * @param seed         随机种子
+     * @return LongStream
+     */
+    public static LongStream randomLongStream(int size, Distribution distribution, long seed) {
+        return chunks(size, false).boxed().flatMapToLong(chunk -> {
+            SplittableRandom random = chunkRandom(seed, chunk);
+            int chunkSize = Math.min(size - chunk * CHUNK_SIZE, CHUNK_SIZE);
+            return LongStream.generate(() -> distribution.next(random)).limit(chunkSize);
+        });
+    }
+
+    /**
+     * [0, bound) 均匀分布
+     */
+    public static Distribution uniform(long bound) {
+        return new Distribution(bound) {
+            @Override
+            public long next(SplittableRandom random) {
+                return random.nextLong(bound);
+            }
+        };
+    }
 
+    /**
+     * [0, bound) 上的 Zipf 分布，0 出现的次数最多，exponent 越大越集中
+     * 用拒绝-反演采样，不需要预先计算每个值的概率，内存占用和 bound 无关
+     *
+     * @param bound    上界（不包含）
+     * @param exponent 指数，必须大于 0，常用 1.0 左右
+     */
+    public static Distribution zipf(long bound, double exponent) {
+        if (exponent <= 0) {
+            throw new IllegalArgumentException("exponent must be positive: " + exponent);
+        }
+        return new ZipfDistribution(bound, exponent);
+    }
+
+    /**
+     * 热点 key 倾斜分布
+     * [0, bound) 中前 hotKeyRatio 比例的 key 是热点，承担 hotTrafficRatio 比例的访问，热点内部和非热点内部都是均匀分布
+     * 例如 hotKey(1000000, 0.01, 0.9)：1% 的 key 承担 90% 的访问
+     *
+     * @param bound           上界（不包含）
+     * @param hotKeyRatio     热点 key 占比，(0, 1]
+     * @param hotTrafficRatio 热点访问占比，[0, 1]
+     */
+    public static Distribution hotKey(long bound, double hotKeyRatio, double hotTrafficRatio) {
+        if (hotKeyRatio <= 0 || hotKeyRatio > 1) {
+            throw new IllegalArgumentException("hotKeyRatio must be in (0, 1]: " + hotKeyRatio);
+        }
+        if (hotTrafficRatio < 0 || hotTrafficRatio > 1) {
+            throw new IllegalArgumentException("hotTrafficRatio must be in [0, 1]: " + hotTrafficRatio);
+        }
+        long hotKeyCount = Math.max(1L, Math.min(bound, (long) (bound * hotKeyRatio)));
+        return new Distribution(bound) {
+            @Override
+            public long next(SplittableRandom random) {
+                if (hotKeyCount == bound || random.nextDouble() < hotTrafficRatio) {
+                    return random.nextLong(hotKeyCount);
+                }
+                return random.nextLong(hotKeyCount, bound);
+            }
+        };
+    }
+
+    /**
+     * 随机数分布，取值范围 [0, bound)
+     */
+    public abstract static class Distribution {
+
+        protected final long bound;
+
+        protected Distribution(long bound) {
+            if (bound <= 0) {
+                throw new IllegalArgumentException("bound must be positive: " + bound);
+            }
+            this.bound = bound;
+        }
+
+        /**
+         * 用给定的随机源取下一个值
+         */
+        public abstract long next(SplittableRandom random);
+    }
+
+    /**
+     * Zipf 分布，拒绝-反演采样（Hörmann & Derflinger）
+     * 采样得到排名 k ∈ [1, bound]，返回 k - 1
+     */
+    private static final class ZipfDistribution extends Distribution {
+
+        private final double exponent;
+        private final double hIntegralX1;
+        private final double hIntegralNumberOfElements;
+        private final double s;
+
+        private ZipfDistribution(long bound, double exponent) {
+            super(bound);
+            this.exponent = exponent;
+            this.hIntegralX1 = hIntegral(1.5) - 1.0;
+            this.hIntegralNumberOfElements = hIntegral(bound + 0.5);
+            this.s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2));
+        }
+
+        @Override
+        public long next(SplittableRandom random) {
+            while (true) {
+                double u = hIntegralNumberOfElements + random.nextDouble() * (hIntegralX1 - hIntegralNumberOfElements);
+                double x = hIntegralInverse(u);
+                long k = (long) (x + 0.5);
+                if (k < 1) {
+                    k = 1;
+                } else if (k > bound) {
+                    k = bound;
+                }
+                if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                    return k - 1;
+                }
+            }
+        }
+
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return helper2((1.0 - exponent) * logX) * logX;
+        }
+
+        private double h(double x) {
+            return Math.exp(-exponent * Math.log(x));
+        }
+
+        private double hIntegralInverse(double x) {
+            double t = x * (1.0 - exponent);
+            if (t < -1.0) {
+                t = -1.0;
+            }
+            return Math.exp(helper1(t) * x);
+        }
+
+        // log(1 + x) / x，x 接近 0 时用泰勒展开
+        private static double helper1(double x) {
+            if (Math.abs(x) > 1e-8) {
+                return Math.log1p(x) / x;
+            }
+            return 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+        }
+
+        // (exp(x) - 1) / x，x 接近 0 时用泰勒展开
+        private static double helper2(double x) {
+            if (Math.abs(x) > 1e-8) {
+                return Math.expm1(x) / x;
+            }
+            return 1.0 + x * 0.5 * (1.0 + x * 1.0 / 3.0 * (1.0 + 0.25 * x));
+        }
+    }
+
+    /**
+     * 块序号流
+     */
+    private static IntStream chunks(int size, boolean parallel) {
+        int chunkCount = (int) (((long) Math.max(size, 0) + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        IntStream chunks = IntStream.range(0, chunkCount);
+        return parallel ? chunks.parallel() : chunks;
+    }
+
+    /**
+     * 由 seed 和块序号推导出该块的随机源，同一块在任何线程上得到的序列都相同
+     */
+    private static SplittableRandom chunkRandom(long seed, int chunk) {
+        return new SplittableRandom(mix64(seed + (chunk + 1L) * GOLDEN_GAMMA));
+    }
+
+    // SplitMix64 的混淆函数
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
 }
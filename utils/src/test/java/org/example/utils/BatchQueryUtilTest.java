@@ -0,0 +1,183 @@
+package org.example.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BatchQueryUtilTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void downstreamBuffersKeysToBatchSize() throws Exception {
+        List<List<Integer>> downstreamBatches = Collections.synchronizedList(new ArrayList<>());
+        BatchQueryUtil.PipelineStage<Integer, Integer> first =
+                BatchQueryUtil.pipeline(range(0, 1000), 10, identity(), Function.identity(), executor);
+        BatchQueryUtil.PipelineStage<Integer, Integer> second = first.then(Function.identity(), 50, keys -> {
+            downstreamBatches.add(keys);
+            return keys;
+        }, Function.identity());
+
+        assertEquals(1000, second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).size());
+        assertEquals(20, downstreamBatches.size());
+        for (List<Integer> batch : downstreamBatches) {
+            assertEquals(50, batch.size());
+        }
+    }
+
+    @Test
+    public void downstreamQueriesEachKeyOnceAcrossBatches() throws Exception {
+        List<Integer> downstreamKeys = Collections.synchronizedList(new ArrayList<>());
+        BatchQueryUtil.PipelineStage<Integer, Integer> first =
+                BatchQueryUtil.pipeline(range(0, 1000), 10, identity(), Function.identity(), executor);
+        BatchQueryUtil.PipelineStage<Integer, Integer> second = first.then(item -> item % 7, 3, keys -> {
+            downstreamKeys.addAll(keys);
+            return keys;
+        }, Function.identity());
+
+        assertEquals(7, second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).size());
+        assertEquals(7, downstreamKeys.size());
+        assertEquals(7, new HashSet<>(downstreamKeys).size());
+    }
+
+    @Test
+    public void lateThenReplaysCompletedResults() throws Exception {
+        BatchQueryUtil.PipelineStage<Integer, Integer> first =
+                BatchQueryUtil.pipeline(range(0, 100), 10, identity(), Function.identity(), null);
+        assertEquals(100, first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).size());
+
+        BatchQueryUtil.PipelineStage<Integer, Integer> second =
+                first.then(item -> item + 1000, 30, identity(), Function.identity());
+
+        Map<Integer, Integer> result = second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals(100, result.size());
+        assertTrue(result.containsKey(1000));
+        assertTrue(result.containsKey(1099));
+    }
+
+    @Test
+    public void processorFailureFailsStageAndDownstream() throws Exception {
+        IllegalStateException error = new IllegalStateException("query failed");
+        BatchQueryUtil.PipelineStage<Integer, Integer> first = BatchQueryUtil.pipeline(range(0, 1000), 10, keys -> {
+            if (keys.contains(500)) {
+                throw error;
+            }
+            return keys;
+        }, Function.identity(), executor);
+        BatchQueryUtil.PipelineStage<Integer, Integer> second =
+                first.then(Function.identity(), 50, identity(), Function.identity());
+
+        assertFailsWith(first, error);
+        assertFailsWith(second, error);
+    }
+
+    @Test
+    public void keyExtractorFailureFailsDownstream() throws Exception {
+        IllegalStateException error = new IllegalStateException("bad key");
+        BatchQueryUtil.PipelineStage<Integer, Integer> first =
+                BatchQueryUtil.pipeline(range(0, 1000), 10, identity(), Function.identity(), executor);
+        BatchQueryUtil.PipelineStage<Integer, Integer> second = first.then(item -> {
+            if (item == 500) {
+                throw error;
+            }
+            return item;
+        }, 50, identity(), Function.identity());
+
+        assertFailsWith(second, error);
+        assertEquals(1000, first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    public void keyExtractorFailureDuringLateThenFailsDownstream() throws Exception {
+        IllegalStateException error = new IllegalStateException("bad key");
+        BatchQueryUtil.PipelineStage<Integer, Integer> first =
+                BatchQueryUtil.pipeline(range(0, 100), 10, identity(), Function.identity(), null);
+        first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        BatchQueryUtil.PipelineStage<Integer, Integer> second = first.then(item -> {
+            throw error;
+        }, 50, identity(), Function.identity());
+
+        assertFailsWith(second, error);
+    }
+
+    @Test
+    public void resultKeyExtractorFailureFailsStage() throws Exception {
+        IllegalStateException error = new IllegalStateException("bad result");
+        BatchQueryUtil.PipelineStage<Integer, Integer> first =
+                BatchQueryUtil.pipeline(range(0, 1000), 10, identity(), item -> {
+                    if (item == 975) {
+                        throw error;
+                    }
+                    return item;
+                }, executor);
+        BatchQueryUtil.PipelineStage<Integer, Integer> second =
+                first.then(Function.identity(), 50, identity(), Function.identity());
+
+        assertFailsWith(first, error);
+        assertFailsWith(second, error);
+    }
+
+    @Test
+    public void rejectedSubmitFailsStage() throws Exception {
+        executor.shutdown();
+        BatchQueryUtil.PipelineStage<Integer, Integer> first =
+                BatchQueryUtil.pipeline(range(0, 100), 10, identity(), Function.identity(), executor);
+
+        try {
+            first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            fail("expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    private static void assertFailsWith(BatchQueryUtil.PipelineStage<?, ?> stage, Throwable error) throws Exception {
+        try {
+            stage.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            fail("expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertEquals(error, e.getCause());
+        }
+    }
+
+    private static Function<List<Integer>, List<Integer>> identity() {
+        return ArrayList::new;
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> list = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+}